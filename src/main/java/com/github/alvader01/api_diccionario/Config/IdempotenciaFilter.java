@@ -0,0 +1,30 @@
+package com.github.alvader01.api_diccionario.Config;
+
+import com.github.alvader01.api_diccionario.Services.IdempotenciaService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.IOException;
+
+/* Guarda una copia del cuerpo de las peticiones POST que llevan la cabecera Idempotency-Key.
+ IdempotenciaService calcula la huella sobre esos bytes tal como los envió el cliente, no sobre el objeto
+ ya deserializado, porque Jackson descarta campos como `palabra` en Definicion (@JsonBackReference).*/
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(IdempotenciaService.CABECERA) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(new ContentCachingRequestWrapper(request), response);
+    }
+}
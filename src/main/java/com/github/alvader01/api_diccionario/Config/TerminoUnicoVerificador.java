@@ -0,0 +1,37 @@
+package com.github.alvader01.api_diccionario.Config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/* Comprueba al arrancar que la tabla `palabra` tiene un índice único sobre `termino`.
+ PalabraService y DefinicionService ya no consultan si el término existe antes de guardar: confían en esa
+ restricción para rechazar los duplicados. Con ddl-auto=update, Hibernate no avisa si no puede crearla
+ (por ejemplo, si ya hay términos repetidos), así que la aplicación se detiene antes de aceptar peticiones.*/
+@Component
+public class TerminoUnicoVerificador implements SmartInitializingSingleton {
+
+    // Índices únicos de una sola columna sobre `termino`.
+    private static final String CONSULTA_INDICE =
+            "SELECT COUNT(*) FROM (" +
+            "SELECT index_name FROM information_schema.statistics " +
+            "WHERE table_schema = 'diccionariodb' AND table_name = 'palabra' AND non_unique = 0 " +
+            "GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 'termino') AS indices";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Se ejecuta cuando ya están creados todos los beans (y Hibernate ha actualizado el esquema),
+    // pero antes de que el servidor web empiece a atender peticiones.
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer indices = jdbcTemplate.queryForObject(CONSULTA_INDICE, Integer.class);
+
+        if (indices == null || indices == 0) {
+            throw new IllegalStateException("La tabla diccionariodb.palabra no tiene una restricción única sobre 'termino'. " +
+                    "Elimine los términos repetidos y ejecute: " +
+                    "ALTER TABLE diccionariodb.palabra ADD CONSTRAINT uk_palabra_termino UNIQUE (termino)");
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.github.alvader01.api_diccionario.Controllers;
 import com.github.alvader01.api_diccionario.Entities.Definicion;
 import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
 import com.github.alvader01.api_diccionario.Services.DefinicionService;
+import com.github.alvader01.api_diccionario.Services.IdempotenciaService;
 import com.github.alvader01.api_diccionario.Services.PalabraService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +26,9 @@ public class DefinicionController {
     @Autowired
     private PalabraService palabraService;
 
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
     @CrossOrigin
     @GetMapping("/palabra/{palabraId}")
     @Operation(
@@ -47,20 +52,26 @@ public class DefinicionController {
     @PostMapping("/palabra/{palabraId}")
     @Operation(
             summary = "Agregar definición para una palabra",
-            description = "Este método agrega una nueva definición para la palabra con el ID proporcionado."
+            description = "Este método agrega una nueva definición para la palabra con el ID proporcionado. Si se repite la petición con la misma cabecera Idempotency-Key, se devuelve la respuesta original."
     )
     public ResponseEntity<Definicion> addDefinicion(
+            @Parameter(description = "Clave para reintentar la petición sin repetir la creación")
+            @RequestHeader(value = IdempotenciaService.CABECERA, required = false) String idempotencyKey,
             @Parameter(description = "ID de la palabra para agregar la definición", required = true)
             @PathVariable Long palabraId,
             @Parameter(description = "Definición a agregar", required = true)
-            @RequestBody Definicion definicion) {
+            @RequestBody Definicion definicion,
+            HttpServletRequest request) {
 
-        try {
-            Definicion createdDefinicion = definicionService.addDefinicion(palabraId, definicion);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdDefinicion);
-        } catch (RecordNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        }
+        return idempotenciaService.ejecutar("POST /definiciones/palabra/" + palabraId, idempotencyKey,
+                IdempotenciaService.cuerpo(request), () -> {
+            try {
+                Definicion createdDefinicion = definicionService.addDefinicion(palabraId, definicion);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdDefinicion);
+            } catch (RecordNotFoundException e) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+        });
     }
 
     @CrossOrigin
@@ -85,17 +96,23 @@ public class DefinicionController {
     @PostMapping("/con-definiciones")
     @Operation(
             summary = "Crear palabra con definiciones",
-            description = "Este método crea una nueva palabra junto con las definiciones proporcionadas."
+            description = "Este método crea una nueva palabra junto con las definiciones proporcionadas. Si se repite la petición con la misma cabecera Idempotency-Key, se devuelve la respuesta original."
     )
     public ResponseEntity<Definicion> createPalabraConDefiniciones(
+            @Parameter(description = "Clave para reintentar la petición sin repetir la creación")
+            @RequestHeader(value = IdempotenciaService.CABECERA, required = false) String idempotencyKey,
             @Parameter(description = "Definición para la palabra a crear", required = true)
-            @RequestBody Definicion definicion) {
+            @RequestBody Definicion definicion,
+            HttpServletRequest request) {
 
-        try {
-            Definicion createdDefinicion = definicionService.createPalabraConDefiniciones(definicion);
-            return ResponseEntity.status(HttpStatus.CREATED).body(createdDefinicion);
-        } catch (RecordNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
-        }
+        return idempotenciaService.ejecutar("POST /definiciones/con-definiciones", idempotencyKey,
+                IdempotenciaService.cuerpo(request), () -> {
+            try {
+                Definicion createdDefinicion = definicionService.createPalabraConDefiniciones(definicion);
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdDefinicion);
+            } catch (RecordNotFoundException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.github.alvader01.api_diccionario.Controllers;
+
+import com.github.alvader01.api_diccionario.DTO.EstadisticasDTO;
+import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
+import com.github.alvader01.api_diccionario.Services.EstadisticasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/estadisticas")
+public class EstadisticasController {
+
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @CrossOrigin
+    @GetMapping
+    @Operation(
+            summary = "Obtener estadísticas del diccionario",
+            description = "Este método devuelve el número de palabras por categoría gramatical, por inicial, por longitud y por número de definiciones."
+    )
+    public ResponseEntity<EstadisticasDTO> getEstadisticas() {
+        return ResponseEntity.ok(estadisticasService.getEstadisticas());
+    }
+
+    @CrossOrigin
+    @GetMapping("/palabra/{palabraId}")
+    @Operation(
+            summary = "Obtener número de definiciones de una palabra",
+            description = "Este método devuelve el número de definiciones de la palabra con el ID proporcionado."
+    )
+    public ResponseEntity<Long> getDefinicionesDePalabra(
+            @Parameter(description = "ID de la palabra", required = true)
+            @PathVariable Long palabraId) throws RecordNotFoundException {
+        return ResponseEntity.ok(estadisticasService.getDefinicionesDePalabra(palabraId));
+    }
+}
@@ -1,13 +1,17 @@
 package com.github.alvader01.api_diccionario.Controllers;
 
+import com.github.alvader01.api_diccionario.DTO.UpsertPalabraDTO;
 import com.github.alvader01.api_diccionario.Entities.Palabra;
 import com.github.alvader01.api_diccionario.Exceptions.CategoriaNotFoundException;
 import com.github.alvader01.api_diccionario.Exceptions.InicialNotFoundException;
 import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
+import com.github.alvader01.api_diccionario.Services.IdempotenciaService;
 import com.github.alvader01.api_diccionario.Services.PalabraService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +27,9 @@ public class PalabraController {
     @Autowired
     private PalabraService palabraService;
 
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
     @CrossOrigin
     @GetMapping
     @Operation(
@@ -51,16 +58,44 @@ public class PalabraController {
     @PostMapping
     @Operation(
             summary = "Crear una nueva palabra",
-            description = "Este método crea una nueva palabra."
+            description = "Este método crea una nueva palabra. Si se repite la petición con la misma cabecera Idempotency-Key, se devuelve la respuesta original."
     )
     public ResponseEntity<Palabra> createPalabra(
+            @Parameter(description = "Clave para reintentar la petición sin repetir la creación")
+            @RequestHeader(value = IdempotenciaService.CABECERA, required = false) String idempotencyKey,
             @Parameter(description = "Palabra a crear", required = true)
+            @RequestBody Palabra palabra,
+            HttpServletRequest request) {
+        return idempotenciaService.ejecutar("POST /palabras", idempotencyKey, IdempotenciaService.cuerpo(request), () -> {
+            try {
+                Palabra nuevaPalabra = palabraService.createPalabra(palabra);
+                return ResponseEntity.status(HttpStatus.CREATED).body(nuevaPalabra);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+            }
+        });
+    }
+
+    @CrossOrigin
+    @PutMapping("/termino/{termino}")
+    @Operation(
+            summary = "Crear o actualizar palabra por término",
+            description = "Este método crea la palabra con el término indicado (201) o, si ya existe, actualiza su categoría gramatical (200)."
+    )
+    public ResponseEntity<Palabra> upsertPalabra(
+            @Parameter(description = "Término de la palabra", required = true)
+            @PathVariable String termino,
+            @Parameter(description = "Palabra con la categoría gramatical", required = true)
             @RequestBody Palabra palabra) {
         try {
-            Palabra nuevaPalabra = palabraService.createPalabra(palabra);
-            return ResponseEntity.status(HttpStatus.CREATED).body(nuevaPalabra);
+            palabra.setTermino(termino);
+            UpsertPalabraDTO upsertedPalabra = palabraService.upsertPalabra(palabra);
+            HttpStatus status = upsertedPalabra.isCreada() ? HttpStatus.CREATED : HttpStatus.OK;
+            return ResponseEntity.status(status).body(upsertedPalabra.getPalabra());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
         }
     }
 
@@ -80,6 +115,8 @@ public class PalabraController {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
         } catch (RecordNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
         }
     }
 
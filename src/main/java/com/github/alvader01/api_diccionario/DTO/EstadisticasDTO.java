@@ -0,0 +1,90 @@
+package com.github.alvader01.api_diccionario.DTO;
+
+import java.util.Map;
+
+// Instantánea de las estadísticas del diccionario que se devuelve en el endpoint /estadisticas.
+public class EstadisticasDTO {
+
+    private long totalPalabras;
+    private long totalDefiniciones;
+    private Map<String, Long> palabrasPorCategoria;
+    private Map<String, Long> palabrasPorInicial;
+    private Map<Integer, Long> palabrasPorLongitud;
+    private Map<Long, Long> palabrasPorNumeroDefiniciones;
+    private long palabrasSinDefiniciones;
+
+    public EstadisticasDTO(long totalPalabras, long totalDefiniciones,
+                           Map<String, Long> palabrasPorCategoria,
+                           Map<String, Long> palabrasPorInicial,
+                           Map<Integer, Long> palabrasPorLongitud,
+                           Map<Long, Long> palabrasPorNumeroDefiniciones,
+                           long palabrasSinDefiniciones) {
+        this.totalPalabras = totalPalabras;
+        this.totalDefiniciones = totalDefiniciones;
+        this.palabrasPorCategoria = palabrasPorCategoria;
+        this.palabrasPorInicial = palabrasPorInicial;
+        this.palabrasPorLongitud = palabrasPorLongitud;
+        this.palabrasPorNumeroDefiniciones = palabrasPorNumeroDefiniciones;
+        this.palabrasSinDefiniciones = palabrasSinDefiniciones;
+    }
+
+    public EstadisticasDTO() {
+
+    }
+
+    public long getTotalPalabras() {
+        return totalPalabras;
+    }
+
+    public void setTotalPalabras(long totalPalabras) {
+        this.totalPalabras = totalPalabras;
+    }
+
+    public long getTotalDefiniciones() {
+        return totalDefiniciones;
+    }
+
+    public void setTotalDefiniciones(long totalDefiniciones) {
+        this.totalDefiniciones = totalDefiniciones;
+    }
+
+    public Map<String, Long> getPalabrasPorCategoria() {
+        return palabrasPorCategoria;
+    }
+
+    public void setPalabrasPorCategoria(Map<String, Long> palabrasPorCategoria) {
+        this.palabrasPorCategoria = palabrasPorCategoria;
+    }
+
+    public Map<String, Long> getPalabrasPorInicial() {
+        return palabrasPorInicial;
+    }
+
+    public void setPalabrasPorInicial(Map<String, Long> palabrasPorInicial) {
+        this.palabrasPorInicial = palabrasPorInicial;
+    }
+
+    public Map<Integer, Long> getPalabrasPorLongitud() {
+        return palabrasPorLongitud;
+    }
+
+    public void setPalabrasPorLongitud(Map<Integer, Long> palabrasPorLongitud) {
+        this.palabrasPorLongitud = palabrasPorLongitud;
+    }
+
+    public Map<Long, Long> getPalabrasPorNumeroDefiniciones() {
+        return palabrasPorNumeroDefiniciones;
+    }
+
+    public void setPalabrasPorNumeroDefiniciones(Map<Long, Long> palabrasPorNumeroDefiniciones) {
+        this.palabrasPorNumeroDefiniciones = palabrasPorNumeroDefiniciones;
+    }
+
+    public long getPalabrasSinDefiniciones() {
+        return palabrasSinDefiniciones;
+    }
+
+    public void setPalabrasSinDefiniciones(long palabrasSinDefiniciones) {
+        this.palabrasSinDefiniciones = palabrasSinDefiniciones;
+    }
+}
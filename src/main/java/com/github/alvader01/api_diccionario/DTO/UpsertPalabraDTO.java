@@ -0,0 +1,35 @@
+package com.github.alvader01.api_diccionario.DTO;
+
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+
+// Resultado de PUT /palabras/termino/{termino}: la palabra y si se ha creado (201) o ya existía (200).
+public class UpsertPalabraDTO {
+
+    private Palabra palabra;
+    private boolean creada;
+
+    public UpsertPalabraDTO(Palabra palabra, boolean creada) {
+        this.palabra = palabra;
+        this.creada = creada;
+    }
+
+    public UpsertPalabraDTO() {
+
+    }
+
+    public Palabra getPalabra() {
+        return palabra;
+    }
+
+    public void setPalabra(Palabra palabra) {
+        this.palabra = palabra;
+    }
+
+    public boolean isCreada() {
+        return creada;
+    }
+
+    public void setCreada(boolean creada) {
+        this.creada = creada;
+    }
+}
@@ -23,7 +23,7 @@ public class Palabra {
 
     @Size(max = 255)
     @NotNull
-    @Column(name = "termino", nullable = false)
+    @Column(name = "termino", nullable = false, unique = true)
     private String termino;
 
     @Size(max = 50)
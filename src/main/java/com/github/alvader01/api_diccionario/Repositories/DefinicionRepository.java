@@ -2,6 +2,7 @@ package com.github.alvader01.api_diccionario.Repositories;
 
 import com.github.alvader01.api_diccionario.Entities.Definicion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +11,9 @@ import java.util.List;
 public interface DefinicionRepository extends JpaRepository<Definicion, Long> {
     // Metodo para buscar definiciones por el ID de la palabra relacionada.
     List<Definicion> findByPalabraId(Long palabraId);
+
+    // Consulta agregada que devuelve pares [id de la palabra, número de definiciones].
+    // Solo aparecen las palabras que tienen al menos una definición.
+    @Query("SELECT d.palabra.id, COUNT(d) FROM Definicion d GROUP BY d.palabra.id")
+    List<Object[]> countDefinicionesPorPalabra();
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.github.alvader01.api_diccionario.Repositories;
 
 import com.github.alvader01.api_diccionario.Entities.Palabra;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,4 +32,29 @@ public interface PalabraRepository extends JpaRepository<Palabra, Long> {
     // Metodo para verificar si ya existe una palabra con el término especificado.
     // Retorna un valor booleano que indica si el término ya está registrado en la base de datos.
     boolean existsByTermino(String termino);
-}
\ No newline at end of file
+
+    // Actualiza el término y la categoría solo si siguen teniendo los valores leídos antes (comparación binaria,
+    // porque la intercalación de MySQL no distingue mayúsculas ni tildes).
+    // Devuelve 0 si otro escritor ha modificado o eliminado la palabra entretanto.
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query(value = "UPDATE diccionariodb.palabra SET termino = :termino, categoria_gramatical = :categoria " +
+            "WHERE id = :id AND CAST(termino AS BINARY) = CAST(:terminoAnterior AS BINARY) " +
+            "AND CAST(categoria_gramatical AS BINARY) = CAST(:categoriaAnterior AS BINARY)", nativeQuery = true)
+    int updateSiNoHaCambiado(Long id, String termino, String categoria, String terminoAnterior, String categoriaAnterior);
+
+    // Consultas agregadas para calcular las estadísticas. Devuelven pares [valor, número de palabras].
+    // Se agrupa por el valor binario para distinguir mayúsculas y tildes igual que los contadores en memoria;
+    // las iniciales se normalizan después en EstadisticasService.
+    @Query(value = "SELECT ANY_VALUE(categoria_gramatical), COUNT(*) FROM diccionariodb.palabra " +
+            "GROUP BY CAST(categoria_gramatical AS BINARY)", nativeQuery = true)
+    List<Object[]> countPorCategoria();
+
+    @Query(value = "SELECT ANY_VALUE(LEFT(termino, 1)), COUNT(*) FROM diccionariodb.palabra " +
+            "GROUP BY CAST(LEFT(termino, 1) AS BINARY)", nativeQuery = true)
+    List<Object[]> countPorInicial();
+
+    @Query(value = "SELECT CHAR_LENGTH(termino), COUNT(*) FROM diccionariodb.palabra " +
+            "GROUP BY CHAR_LENGTH(termino)", nativeQuery = true)
+    List<Object[]> countPorLongitud();
+}
@@ -6,7 +6,10 @@ import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
 import com.github.alvader01.api_diccionario.Repositories.DefinicionRepository;
 import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -19,6 +22,12 @@ public class DefinicionService {
     @Autowired
     private PalabraRepository palabraRepository;
 
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     /* Este metodo obtiene todas las definiciones asociadas a una palabra a través de su ID.
      Busca en el repositorio de definiciones y devuelve todas las definiciones relacionadas.*/
     public List<Definicion> getDefinicionesByPalabraId(Long palabraId) {
@@ -34,46 +43,70 @@ public class DefinicionService {
                 .orElseThrow(() -> new RecordNotFoundException("No existe ninguna palabra con id: ", palabraId));
 
         // Se asigna la palabra encontrada a la definición.
+        // El ID lo asigna la base de datos; con un ID recibido, save() sobrescribiría otra definición.
+        definicion.setId(null);
         definicion.setPalabra(palabra);
 
         // Se guarda la nueva definición en el repositorio de definiciones y se retorna.
-        return definicionRepository.save(definicion);
+        return estadisticasService.escribir(() -> {
+            Definicion nuevaDefinicion = definicionRepository.save(definicion);
+            estadisticasService.registrarDefinicionCreada(palabra.getId());
+            return nuevaDefinicion;
+        });
     }
 
     /* Este metodo elimina una definición existente.
      Recibe el ID de la definición a eliminar.
      Si la definición no se encuentra, lanza una excepción RecordNotFoundException.*/
     public void deleteDefinicion(Long id) throws RecordNotFoundException {
-        // Se verifica si la definición con el ID dado existe en el repositorio.
-        if (!definicionRepository.existsById(id)) {
+        estadisticasService.escribir(() -> {
+            // Se verifica si la definición con el ID dado existe en el repositorio.
             // Si no existe, se lanza una excepción.
-            throw new RecordNotFoundException("No existe Definicion para el id: ", id);
-        }
+            Definicion definicion = definicionRepository.findById(id)
+                    .orElseThrow(() -> new RecordNotFoundException("No existe Definicion para el id: ", id));
 
-        // Si existe, se elimina la definición por su ID.
-        definicionRepository.deleteById(id);
+            // Si existe, se elimina la definición ya cargada.
+            definicionRepository.delete(definicion);
+            estadisticasService.registrarDefinicionEliminada(definicion.getPalabra().getId());
+        });
     }
 
     /* Este metodo crea una nueva palabra con definiciones asociadas.
-     Recibe una definición que contiene una palabra nueva o existente.
+     Recibe una definición que contiene una palabra nueva.
+     La palabra y la definición se guardan en una misma transacción: si falla la definición, tampoco
+     queda la palabra, y el cliente puede reintentar. Las estadísticas se actualizan tras confirmarla.
      Si la palabra ya existe, lanza una excepción RecordNotFoundException.*/
     public Definicion createPalabraConDefiniciones(Definicion definicion) throws RecordNotFoundException {
         // Se obtiene la palabra asociada a la definición.
+        // Los IDs los asigna la base de datos, así que se ignoran los recibidos.
         Palabra palabra = definicion.getPalabra();
+        definicion.setId(null);
+        palabra.setId(null);
+        if (palabra.getDefinicions() != null) {
+            palabra.getDefinicions().forEach(otra -> otra.setId(null));
+        }
 
-        // Se verifica si la palabra ya existe en el repositorio de palabras.
-        if (palabraRepository.existsByTermino(palabra.getTermino())) {
+        // Se intenta guardar la palabra directamente; la restricción única del término
+        // impide crearla dos veces aunque lleguen varias peticiones en paralelo.
+        try {
+            return estadisticasService.escribir(() -> {
+                Definicion nuevaDefinicion = new TransactionTemplate(transactionManager).execute(status -> {
+                    // Se asigna la palabra guardada a la definición y se guarda la definición.
+                    definicion.setPalabra(palabraRepository.save(palabra));
+                    return definicionRepository.save(definicion);
+                });
+
+                Palabra nuevaPalabra = nuevaDefinicion.getPalabra();
+                estadisticasService.registrarPalabraCreada(nuevaPalabra);
+                estadisticasService.registrarDefinicionCreada(nuevaPalabra.getId());
+                return nuevaDefinicion;
+            });
+        } catch (DataIntegrityViolationException e) {
             // Si ya existe, se lanza una excepción con un mensaje de error.
-            throw new RecordNotFoundException("La palabra '" + palabra.getTermino() + "' ya existe.");
+            if (palabraRepository.existsByTermino(palabra.getTermino())) {
+                throw new RecordNotFoundException("La palabra '" + palabra.getTermino() + "' ya existe.");
+            }
+            throw e;
         }
-
-        // Si la palabra no existe, se guarda en el repositorio de palabras.
-        palabra = palabraRepository.save(palabra);
-
-        // Se asigna la palabra guardada a la definición.
-        definicion.setPalabra(palabra);
-
-        // Se guarda la definición asociada a la palabra y se retorna.
-        return definicionRepository.save(definicion);
     }
 }
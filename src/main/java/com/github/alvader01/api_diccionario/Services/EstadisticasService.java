@@ -0,0 +1,414 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import com.github.alvader01.api_diccionario.DTO.EstadisticasDTO;
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
+import com.github.alvader01.api_diccionario.Repositories.DefinicionRepository;
+import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+@Service
+public class EstadisticasService {
+
+    // Número de filas a partir del cual la tarea de conteo de definiciones se divide en dos subtareas.
+    private static final int UMBRAL_DIVISION = 2048;
+
+    // Marcas diacríticas que quedan separadas de la letra al normalizar en forma NFD.
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private PalabraRepository palabraRepository;
+
+    @Autowired
+    private DefinicionRepository definicionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Las escrituras toman el bloqueo de lectura (compartido) desde antes de guardar en la base de datos
+    // hasta después de registrar el cambio. La reconstrucción toma el de escritura solo mientras fija la
+    // vista consistente de su transacción, así cada escritura queda o bien dentro de esa vista o bien
+    // registrada después de ella.
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    // Evita que dos reconstrucciones se ejecuten a la vez.
+    private final Object reconstruccion = new Object();
+
+    // Facetas actuales. Es null hasta que se calculan por primera vez.
+    private volatile Facetas facetas;
+
+    // Cambios registrados durante una reconstrucción, después de fijar la vista de la base de datos.
+    // Se aplican a las nuevas facetas antes de publicarlas. Es null si no hay reconstrucción en curso.
+    private volatile Queue<Consumer<Facetas>> pendientes;
+
+    /* Este metodo devuelve las estadísticas del diccionario.
+     La primera llamada las calcula con consultas agregadas; las siguientes leen los contadores
+     que mantienen actualizados PalabraService y DefinicionService.*/
+    public EstadisticasDTO getEstadisticas() {
+        return inicializadas().toDTO();
+    }
+
+    /* Este metodo devuelve el número de definiciones de una palabra según los contadores.
+     Si la palabra no existe, lanza una excepción `RecordNotFoundException`.*/
+    public long getDefinicionesDePalabra(Long palabraId) throws RecordNotFoundException {
+        if (!palabraRepository.existsById(palabraId)) {
+            throw new RecordNotFoundException("No existe Palabra para el id: ", palabraId);
+        }
+        return inicializadas().definicionesDePalabra(palabraId.intValue());
+    }
+
+    /* Este metodo ejecuta una escritura en la base de datos junto con el registro de sus cambios.
+     Todas las escrituras de palabras y definiciones deben pasar por aquí para que una reconstrucción
+     en paralelo no las cuente dos veces ni las pierda.*/
+    public <T> T escribir(Supplier<T> escritura) {
+        bloqueo.readLock().lock();
+        try {
+            return escritura.get();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    public void escribir(Runnable escritura) {
+        bloqueo.readLock().lock();
+        try {
+            escritura.run();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    /* Los siguientes metodos actualizan los contadores en O(1) tras cada escritura.
+     Se llaman dentro de `escribir`, después de que el repositorio haya guardado o eliminado el registro.*/
+    public void registrarPalabraCreada(Palabra palabra) {
+        String termino = palabra.getTermino();
+        String categoria = palabra.getCategoriaGramatical();
+
+        // Las definiciones enviadas junto a la palabra se guardan en cascada.
+        int definiciones = palabra.getDefinicions() == null ? 0 : palabra.getDefinicions().size();
+        Integer palabraId = palabra.getId();
+
+        aplicar(actuales -> {
+            actuales.sumarPalabra(termino, categoria, 1);
+            if (definiciones > 0) {
+                actuales.sumarDefiniciones(palabraId, definiciones);
+            }
+        });
+    }
+
+    public void registrarPalabraActualizada(String terminoAnterior, String categoriaAnterior, Palabra palabra) {
+        String termino = palabra.getTermino();
+        String categoria = palabra.getCategoriaGramatical();
+
+        aplicar(actuales -> {
+            actuales.sumarPalabra(terminoAnterior, categoriaAnterior, -1);
+            actuales.sumarPalabra(termino, categoria, 1);
+        });
+    }
+
+    public void registrarPalabraEliminada(Palabra palabra) {
+        String termino = palabra.getTermino();
+        String categoria = palabra.getCategoriaGramatical();
+        Integer palabraId = palabra.getId();
+
+        aplicar(actuales -> {
+            actuales.sumarPalabra(termino, categoria, -1);
+
+            // Las definiciones de la palabra se eliminan en cascada.
+            actuales.eliminarDefiniciones(palabraId);
+        });
+    }
+
+    public void registrarDefinicionCreada(Integer palabraId) {
+        aplicar(actuales -> actuales.sumarDefiniciones(palabraId, 1));
+    }
+
+    public void registrarDefinicionEliminada(Integer palabraId) {
+        aplicar(actuales -> actuales.sumarDefiniciones(palabraId, -1));
+    }
+
+    // Aplica el cambio a las facetas actuales y, si hay una reconstrucción en curso, lo guarda para las nuevas.
+    private void aplicar(Consumer<Facetas> cambio) {
+        bloqueo.readLock().lock();
+        try {
+            Facetas actuales = facetas;
+            if (actuales != null) {
+                actuales.aplicar(cambio);
+            }
+            Queue<Consumer<Facetas>> cola = pendientes;
+            if (cola != null) {
+                cola.add(cambio);
+            }
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    private Facetas inicializadas() {
+        Facetas actuales = facetas;
+        if (actuales != null) {
+            return actuales;
+        }
+        synchronized (reconstruccion) {
+            actuales = facetas;
+            return actuales != null ? actuales : reconstruir();
+        }
+    }
+
+    /* Calcula todas las facetas desde cero y las publica.
+     Las consultas agregadas se ejecutan en una transacción de solo lectura REPEATABLE READ, así todas ven
+     la misma vista consistente de InnoDB. El bloqueo de escritura solo se toma para fijar esa vista con una
+     lectura por clave primaria, no durante las consultas. Los cambios registrados después se guardan en
+     `pendientes` y se aplican a las nuevas facetas justo antes de publicarlas.*/
+    private Facetas reconstruir() {
+        synchronized (reconstruccion) {
+            Queue<Consumer<Facetas>> cola = new ConcurrentLinkedQueue<>();
+
+            TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+            lectura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+            lectura.setReadOnly(true);
+
+            Facetas nuevas = null;
+            try {
+                nuevas = lectura.execute(status -> {
+                    bloqueo.writeLock().lock();
+                    try {
+                        // La primera lectura de la transacción fija la vista; basta con una búsqueda por ID.
+                        palabraRepository.existsById(0L);
+                        pendientes = cola;
+                    } finally {
+                        bloqueo.writeLock().unlock();
+                    }
+
+                    return contar(palabraRepository.countPorCategoria(),
+                            palabraRepository.countPorInicial(),
+                            palabraRepository.countPorLongitud(),
+                            definicionRepository.countDefinicionesPorPalabra());
+                });
+            } finally {
+                bloqueo.writeLock().lock();
+                try {
+                    if (nuevas != null) {
+                        Consumer<Facetas> cambio;
+                        while ((cambio = cola.poll()) != null) {
+                            nuevas.aplicar(cambio);
+                        }
+                        facetas = nuevas;
+                    }
+                    pendientes = null;
+                } finally {
+                    bloqueo.writeLock().unlock();
+                }
+            }
+            return nuevas;
+        }
+    }
+
+    /* Construye las facetas a partir de las consultas agregadas, que devuelven pares [valor, número de palabras].
+     Las iniciales llegan sin normalizar y se agrupan aquí. El número de definiciones llega por palabra,
+     así que se reparte con fork-join.*/
+    static Facetas contar(List<Object[]> porCategoria, List<Object[]> porInicial,
+                          List<Object[]> porLongitud, List<Object[]> definiciones) {
+        Facetas resultado = ForkJoinPool.commonPool().invoke(new ConteoDefinicionesTask(definiciones, 0, definiciones.size()));
+
+        for (Object[] fila : porCategoria) {
+            long total = ((Number) fila[1]).longValue();
+            resultado.totalPalabras.addAndGet(total);
+            sumar(resultado.porCategoria, (String) fila[0], total);
+        }
+        for (Object[] fila : porInicial) {
+            sumar(resultado.porInicial, inicial((String) fila[0]), ((Number) fila[1]).longValue());
+        }
+        for (Object[] fila : porLongitud) {
+            sumar(resultado.porLongitud, ((Number) fila[0]).intValue(), ((Number) fila[1]).longValue());
+        }
+
+        return resultado;
+    }
+
+    /* Devuelve la inicial en mayúsculas y sin tildes, o null si el término está vacío.
+     Así "Árbol" y "arco" cuentan para la "A", igual que en /palabras/inicial/{letra}, cuyo LIKE
+     usa la intercalación de MySQL, que no distingue mayúsculas ni tildes (la "ñ" también cuenta como "n").*/
+    static String inicial(String termino) {
+        if (termino == null || termino.isEmpty()) {
+            return null;
+        }
+        String primera = new String(Character.toChars(termino.codePointAt(0)));
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(primera, Normalizer.Form.NFD)).replaceAll("");
+        return (sinTildes.isEmpty() ? primera : sinTildes).toUpperCase(Locale.ROOT);
+    }
+
+    static int longitud(String termino) {
+        return termino == null ? 0 : termino.codePointCount(0, termino.length());
+    }
+
+    // Suma delta a la clave y elimina la entrada cuando el contador vuelve a cero.
+    // Se admiten valores negativos transitorios porque dos cambios pueden registrarse en distinto orden.
+    private static <K> void sumar(Map<K, Long> mapa, K clave, long delta) {
+        if (clave == null || delta == 0) {
+            return;
+        }
+        mapa.compute(clave, (k, actual) -> {
+            long nuevo = (actual == null ? 0 : actual) + delta;
+            return nuevo != 0 ? nuevo : null;
+        });
+    }
+
+    // Contadores de las facetas. Todas las operaciones son atómicas por clave.
+    // Los cambios registrados se aplican con el bloqueo compartido y `toDTO` copia todo con el exclusivo,
+    // así cada respuesta corresponde a un mismo momento. Los mapas que se copian tienen pocas entradas.
+    static class Facetas {
+
+        private final ReentrantReadWriteLock instantanea = new ReentrantReadWriteLock();
+
+        private final AtomicLong totalPalabras = new AtomicLong();
+        private final AtomicLong totalDefiniciones = new AtomicLong();
+        private final Map<String, Long> porCategoria = new ConcurrentHashMap<>();
+        private final Map<String, Long> porInicial = new ConcurrentHashMap<>();
+        private final Map<Integer, Long> porLongitud = new ConcurrentHashMap<>();
+
+        // Número de palabras que tienen n definiciones, para n > 0.
+        private final Map<Long, Long> porNumeroDefiniciones = new ConcurrentHashMap<>();
+
+        // Una entrada por palabra con definiciones; no se devuelve entera, solo se consulta por ID.
+        private final Map<Integer, Long> definicionesPorPalabra = new ConcurrentHashMap<>();
+
+        // Aplica un cambio completo (por ejemplo, restar la categoría anterior y sumar la nueva) sin que
+        // una lectura pueda ver solo una parte.
+        void aplicar(Consumer<Facetas> cambio) {
+            instantanea.readLock().lock();
+            try {
+                cambio.accept(this);
+            } finally {
+                instantanea.readLock().unlock();
+            }
+        }
+
+        void sumarPalabra(String termino, String categoria, long delta) {
+            totalPalabras.addAndGet(delta);
+            sumar(porCategoria, categoria, delta);
+            sumar(porInicial, inicial(termino), delta);
+            sumar(porLongitud, longitud(termino), delta);
+        }
+
+        void sumarDefiniciones(Integer palabraId, long delta) {
+            totalDefiniciones.addAndGet(delta);
+            definicionesPorPalabra.compute(palabraId, (id, actual) -> {
+                long anterior = actual == null ? 0 : actual;
+                long nuevo = anterior + delta;
+                moverEnHistograma(anterior, nuevo);
+                return nuevo != 0 ? nuevo : null;
+            });
+        }
+
+        void eliminarDefiniciones(Integer palabraId) {
+            definicionesPorPalabra.computeIfPresent(palabraId, (id, actual) -> {
+                totalDefiniciones.addAndGet(-actual);
+                moverEnHistograma(actual, 0);
+                return null;
+            });
+        }
+
+        long definicionesDePalabra(Integer palabraId) {
+            return definicionesPorPalabra.getOrDefault(palabraId, 0L);
+        }
+
+        // Pasa una palabra del grupo de palabras con `anterior` definiciones al de `nuevo`.
+        private void moverEnHistograma(long anterior, long nuevo) {
+            if (anterior > 0) {
+                sumar(porNumeroDefiniciones, anterior, -1);
+            }
+            if (nuevo > 0) {
+                sumar(porNumeroDefiniciones, nuevo, 1);
+            }
+        }
+
+        // Combina los contadores de otra subtarea en estos.
+        Facetas combinar(Facetas otras) {
+            totalPalabras.addAndGet(otras.totalPalabras.get());
+            otras.porCategoria.forEach((k, v) -> sumar(porCategoria, k, v));
+            otras.porInicial.forEach((k, v) -> sumar(porInicial, k, v));
+            otras.porLongitud.forEach((k, v) -> sumar(porLongitud, k, v));
+            otras.definicionesPorPalabra.forEach(this::sumarDefiniciones);
+            return this;
+        }
+
+        EstadisticasDTO toDTO() {
+            instantanea.writeLock().lock();
+            try {
+                long total = totalPalabras.get();
+
+                // El histograma tiene tantas entradas como números de definiciones distintos, no como palabras.
+                long conDefiniciones = 0;
+                for (long palabras : porNumeroDefiniciones.values()) {
+                    conDefiniciones += palabras;
+                }
+
+                // Una definición puede registrarse antes que su palabra si llegan desde hilos distintos.
+                return new EstadisticasDTO(
+                        total,
+                        totalDefiniciones.get(),
+                        new TreeMap<>(porCategoria),
+                        new TreeMap<>(porInicial),
+                        new TreeMap<>(porLongitud),
+                        new TreeMap<>(porNumeroDefiniciones),
+                        Math.max(0, total - conDefiniciones));
+            } finally {
+                instantanea.writeLock().unlock();
+            }
+        }
+    }
+
+    // Tarea fork-join que cuenta las definiciones de un tramo de las filas [id de la palabra, número de definiciones].
+    private static class ConteoDefinicionesTask extends RecursiveTask<Facetas> {
+
+        private final List<Object[]> filas;
+        private final int desde;
+        private final int hasta;
+
+        ConteoDefinicionesTask(List<Object[]> filas, int desde, int hasta) {
+            this.filas = filas;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected Facetas compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                Facetas parciales = new Facetas();
+                for (int i = desde; i < hasta; i++) {
+                    Object[] fila = filas.get(i);
+                    parciales.sumarDefiniciones(((Number) fila[0]).intValue(), ((Number) fila[1]).longValue());
+                }
+                return parciales;
+            }
+
+            int mitad = (desde + hasta) >>> 1;
+            ConteoDefinicionesTask izquierda = new ConteoDefinicionesTask(filas, desde, mitad);
+            ConteoDefinicionesTask derecha = new ConteoDefinicionesTask(filas, mitad, hasta);
+            izquierda.fork();
+            Facetas resultadoDerecha = derecha.compute();
+            return izquierda.join().combinar(resultadoDerecha);
+        }
+    }
+}
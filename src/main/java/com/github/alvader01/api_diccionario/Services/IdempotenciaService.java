@@ -0,0 +1,164 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotenciaService {
+
+    // Cabecera con la que el cliente identifica una petición que puede reintentar.
+    public static final String CABECERA = "Idempotency-Key";
+
+    // Cabecera que se añade a las respuestas devueltas desde el almacén.
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    // Número máximo de claves terminadas que se recuerdan. Al superarlo se descartan las más antiguas.
+    @Value("${diccionario.idempotencia.capacidad:10000}")
+    private int capacidad;
+
+    private final Map<String, Registro> registros = new ConcurrentHashMap<>();
+
+    // Orden de inserción de las claves, para descartar primero las más antiguas.
+    // Puede contener claves ya eliminadas tras un fallo; también se limita a la capacidad.
+    private final Queue<Registro> orden = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanoOrden = new AtomicInteger();
+
+    /* Este metodo ejecuta una operación una sola vez por clave de idempotencia.
+     Si la clave es null se ejecuta la operación sin más.
+     Si ya se ejecutó con la misma clave y el mismo cuerpo, devuelve la respuesta original.
+     Si la primera ejecución sigue en curso, responde 409 Conflict sin esperar, para no ocupar un hilo.
+     Si la clave se usó con otro cuerpo, responde 422 Unprocessable Entity. El cuerpo se compara byte a byte
+     tal como lo envió el cliente; se obtiene con `cuerpo(request)`.
+     Las respuestas 5xx y las excepciones no se guardan, para que el cliente pueda reintentar.*/
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> ejecutar(String operacion, String clave, byte[] cuerpo, Supplier<ResponseEntity<T>> accion) {
+        if (clave == null || clave.isBlank()) {
+            return accion.get();
+        }
+
+        Registro nuevo = new Registro(operacion + " " + clave, huella(cuerpo));
+        Registro existente = registros.putIfAbsent(nuevo.clave, nuevo);
+
+        if (existente != null) {
+            if (!existente.huella.equals(nuevo.huella)) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(null);
+            }
+            if (!existente.respuesta.isDone()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+            }
+            if (existente.respuesta.isCompletedExceptionally()) {
+                // La primera ejecución falló y su clave ya se eliminó, así que se vuelve a intentar.
+                return ejecutar(operacion, clave, cuerpo, accion);
+            }
+            return (ResponseEntity<T>) repetida(existente.respuesta.join());
+        }
+
+        registrar(nuevo);
+
+        ResponseEntity<T> respuesta;
+        try {
+            respuesta = accion.get();
+        } catch (RuntimeException e) {
+            registros.remove(nuevo.clave, nuevo);
+            nuevo.respuesta.completeExceptionally(e);
+            throw e;
+        }
+
+        if (respuesta.getStatusCode().is5xxServerError()) {
+            registros.remove(nuevo.clave, nuevo);
+        }
+        nuevo.respuesta.complete(respuesta);
+        return respuesta;
+    }
+
+    // Añade la clave al orden de inserción y descarta las más antiguas si se supera la capacidad.
+    // Las claves que siguen en curso no se descartan: un reintento volvería a ejecutar la operación.
+    private void registrar(Registro registro) {
+        orden.add(registro);
+        tamanoOrden.incrementAndGet();
+
+        // Se revisa como mucho una vuelta de la cola, para no girar si todas las claves siguen en curso.
+        int revisar = tamanoOrden.get();
+        while (revisar-- > 0 && (registros.size() > capacidad || tamanoOrden.get() > capacidad)) {
+            Registro antiguo = orden.poll();
+            if (antiguo == null) {
+                break;
+            }
+            if (!antiguo.respuesta.isDone() && registros.get(antiguo.clave) == antiguo) {
+                orden.add(antiguo);
+                continue;
+            }
+            tamanoOrden.decrementAndGet();
+            registros.remove(antiguo.clave, antiguo);
+        }
+    }
+
+    /* Este metodo devuelve el cuerpo de la petición tal como llegó, guardado por IdempotenciaFilter.
+     Se llama después de que Spring haya leído el @RequestBody; si el conversor no ha llegado al final,
+     se lee el resto para que la copia quede completa. Sin cabecera Idempotency-Key no se guarda nada.*/
+    public static byte[] cuerpo(HttpServletRequest request) {
+        ContentCachingRequestWrapper copia = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (copia == null) {
+            if (request.getHeader(CABECERA) == null) {
+                return new byte[0];
+            }
+            throw new IllegalStateException("IdempotenciaFilter no ha guardado el cuerpo de la petición");
+        }
+        try {
+            StreamUtils.drain(copia.getInputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el cuerpo de la petición", e);
+        }
+        return copia.getContentAsByteArray();
+    }
+
+    // Resumen SHA-256 del cuerpo de la petición, para detectar una clave reutilizada con otros datos.
+    private String huella(byte[] cuerpo) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(cuerpo));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la petición", e);
+        }
+    }
+
+    // Copia la respuesta original marcándola como repetida.
+    private ResponseEntity<?> repetida(ResponseEntity<?> original) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(original.getHeaders());
+        headers.set(CABECERA_REPETIDA, "true");
+        return new ResponseEntity<>(original.getBody(), headers, original.getStatusCode());
+    }
+
+    // Clave, huella del cuerpo y respuesta (pendiente mientras la operación está en curso).
+    private static class Registro {
+
+        private final String clave;
+        private final String huella;
+        private final CompletableFuture<ResponseEntity<?>> respuesta = new CompletableFuture<>();
+
+        Registro(String clave, String huella) {
+            this.clave = clave;
+            this.huella = huella;
+        }
+    }
+}
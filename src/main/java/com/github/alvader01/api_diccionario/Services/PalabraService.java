@@ -1,16 +1,22 @@
 package com.github.alvader01.api_diccionario.Services;
 
+import com.github.alvader01.api_diccionario.DTO.UpsertPalabraDTO;
 import com.github.alvader01.api_diccionario.Entities.Palabra;
 import com.github.alvader01.api_diccionario.Exceptions.CategoriaNotFoundException;
 import com.github.alvader01.api_diccionario.Exceptions.InicialNotFoundException;
 import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
 import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class PalabraService {
@@ -18,6 +24,15 @@ public class PalabraService {
     @Autowired
     private PalabraRepository palabraRepository;
 
+    @Autowired
+    private EstadisticasService estadisticasService;
+
+    @Autowired
+    private Validator validator;
+
+    // Número máximo de intentos de una actualización condicionada antes de rendirse.
+    static final int MAX_INTENTOS = 5;
+
     /*Este metodo obtiene todas las palabras almacenadas en la base de datos.
     Utiliza el repositorio `palabraRepository` para realizar una búsqueda de todas las palabras.*/
     public List<Palabra> getAllPalabras() {
@@ -32,60 +47,184 @@ public class PalabraService {
     }
 
     /*Este metodo crea una nueva palabra.
-     Primero verifica si la palabra ya existe en la base de datos utilizando el término de la palabra.
+     Intenta guardarla directamente y deja que la restricción única del término detecte los duplicados,
+     así dos peticiones en paralelo no pueden crear la misma palabra y no hace falta consultar antes.
      Si ya existe, lanza una excepción `IllegalArgumentException`.
      Si no existe, guarda la nueva palabra en el repositorio y la devuelve.*/
     public Palabra createPalabra(Palabra palabra) {
-        Optional<Palabra> existingPalabra = palabraRepository.findByTermino(palabra.getTermino());
-
-        // Verificación si la palabra ya existe.
-        if (existingPalabra.isPresent()) {
-            throw new IllegalArgumentException("La palabra '" + palabra.getTermino() + "' ya existe.");
+        // El ID lo asigna la base de datos; con un ID recibido, save() sobrescribiría otra palabra.
+        palabra.setId(null);
+        if (palabra.getDefinicions() != null) {
+            palabra.getDefinicions().forEach(definicion -> definicion.setId(null));
         }
 
         try {
-            // Guardar la nueva palabra en la base de datos.
-            return palabraRepository.save(palabra);
+            // Guardar la nueva palabra en la base de datos y actualizar las estadísticas.
+            return estadisticasService.escribir(() -> {
+                Palabra nuevaPalabra = palabraRepository.save(palabra);
+                estadisticasService.registrarPalabraCreada(nuevaPalabra);
+                return nuevaPalabra;
+            });
         } catch (DataIntegrityViolationException e) {
-            // Si ocurre un error de integridad de datos, lanza una excepción con un mensaje de error.
+            // Verificación si el error se debe a que la palabra ya existe.
+            if (palabraRepository.existsByTermino(palabra.getTermino())) {
+                throw new IllegalArgumentException("La palabra '" + palabra.getTermino() + "' ya existe.");
+            }
+            // Si ocurre otro error de integridad de datos, lanza una excepción con un mensaje de error.
             throw new IllegalArgumentException("Error al guardar la palabra: " + e.getMessage());
         }
     }
 
+    /*Este metodo crea la palabra o, si ya existe una con el mismo término, actualiza su categoría gramatical.
+     Devuelve la palabra e indica si se ha creado. Las definiciones no se crean ni se modifican aquí.
+     Lo normal es que la palabra ya exista, así que primero se busca por el término; solo si no existe
+     se inserta, y la restricción única del término detecta si otro escritor la ha creado entretanto.
+     La categoría se cambia con una actualización condicionada a la categoría leída; si otro escritor
+     la ha cambiado o ha ganado la inserción, se vuelve a leer y se reintenta unas pocas veces, así las
+     estadísticas restan siempre la categoría real. Si no lo consigue, lanza una excepción `ConcurrencyFailureException`.*/
+    public UpsertPalabraDTO upsertPalabra(Palabra palabra) {
+        // El término identifica la palabra, así que se ignora cualquier ID recibido.
+        palabra.setId(null);
+        validar(palabra);
+
+        String termino = palabra.getTermino();
+        String categoria = palabra.getCategoriaGramatical();
+
+        for (int intento = 1; ; intento++) {
+            UpsertPalabraDTO resultado = estadisticasService.escribir(() -> {
+                Optional<Palabra> existingPalabra = palabraRepository.findByTermino(termino);
+
+                if (existingPalabra.isEmpty()) {
+                    try {
+                        Palabra nuevaPalabra = palabraRepository.save(new Palabra(null, termino, categoria));
+                        estadisticasService.registrarPalabraCreada(nuevaPalabra);
+                        return new UpsertPalabraDTO(nuevaPalabra, true);
+                    } catch (DataIntegrityViolationException e) {
+                        // Otro escritor ha creado la palabra antes; se vuelve a leer la que ya existe.
+                        if (palabraRepository.existsByTermino(termino)) {
+                            return null;
+                        }
+                        throw new IllegalArgumentException("Error al guardar la palabra: " + e.getMessage());
+                    }
+                }
+
+                // Si la categoría no cambia, no hace falta volver a escribir.
+                Palabra anterior = existingPalabra.get();
+                String categoriaAnterior = anterior.getCategoriaGramatical();
+                if (categoriaAnterior.equals(categoria)) {
+                    return new UpsertPalabraDTO(anterior, false);
+                }
+
+                int actualizadas = palabraRepository.updateSiNoHaCambiado(Long.valueOf(anterior.getId()),
+                        anterior.getTermino(), categoria, anterior.getTermino(), categoriaAnterior);
+                if (actualizadas == 0) {
+                    return null;
+                }
+                Palabra updatedPalabra = new Palabra(anterior.getId(), anterior.getTermino(), categoria);
+                estadisticasService.registrarPalabraActualizada(anterior.getTermino(), categoriaAnterior, updatedPalabra);
+                return new UpsertPalabraDTO(updatedPalabra, false);
+            });
+
+            if (resultado != null) {
+                return resultado;
+            }
+            esperarAntesDeReintentar(intento, termino);
+        }
+    }
+
     /*Este metodo actualiza los detalles de una palabra existente.
      Recibe una palabra con el nuevo término y categoría gramatical.
-     Si la palabra con el término proporcionado ya existe (y no es la misma palabra), lanza una excepción `IllegalArgumentException`.
-     Si no existe, actualiza la palabra con los nuevos detalles y la guarda en el repositorio.*/
+     Si los datos no son válidos, o si ya existe otra palabra con el nuevo término, lanza una excepción `IllegalArgumentException`.
+     Si no, actualiza la palabra con los nuevos detalles y la devuelve.
+     La actualización se hace con una consulta nativa, que no pasa por la validación de Hibernate,
+     así que los datos se validan antes. El duplicado lo detecta la restricción única del término.
+     La actualización solo se aplica si la palabra no ha cambiado desde que se leyó; si otro escritor
+     la ha cambiado, se vuelve a leer y se reintenta unas pocas veces, para que las estadísticas resten
+     los valores reales. Si no lo consigue, lanza una excepción `ConcurrencyFailureException`.*/
     public Palabra updatePalabra(Palabra palabra) throws RecordNotFoundException {
-        return palabraRepository.findById(Long.valueOf(palabra.getId()))
-                .map(existingPalabra -> {
-                    // Verificar si la nueva palabra ya existe en la base de datos.
-                    Optional<Palabra> palabraExistente = palabraRepository.findByTermino(palabra.getTermino());
+        if (palabra.getId() == null) {
+            throw new IllegalArgumentException("Error al guardar la palabra: falta el id.");
+        }
+        validar(palabra);
+        Long id = Long.valueOf(palabra.getId());
+
+        for (int intento = 1; ; intento++) {
+            Optional<Palabra> resultado = estadisticasService.escribir(() -> {
+                Palabra existingPalabra = palabraRepository.findById(id)
+                        .orElseThrow(() -> new RecordNotFoundException("No existe Palabra con el id: ", palabra.getId()));
 
-                    // Si la palabra ya existe y no es la misma, lanza una excepción.
-                    if (palabraExistente.isPresent() && !palabraExistente.get().getId().equals(palabra.getId())) {
+                // Guardar los valores anteriores para la condición y para actualizar las estadísticas.
+                String terminoAnterior = existingPalabra.getTermino();
+                String categoriaAnterior = existingPalabra.getCategoriaGramatical();
+
+                // Actualizar la palabra existente con los nuevos detalles.
+                int actualizadas;
+                try {
+                    actualizadas = palabraRepository.updateSiNoHaCambiado(id, palabra.getTermino(),
+                            palabra.getCategoriaGramatical(), terminoAnterior, categoriaAnterior);
+                } catch (DataIntegrityViolationException e) {
+                    // Verificación si el error se debe a que otra palabra ya tiene ese término.
+                    boolean duplicada = palabraRepository.findByTermino(palabra.getTermino())
+                            .filter(otra -> !otra.getId().equals(palabra.getId()))
+                            .isPresent();
+                    if (duplicada) {
                         throw new IllegalArgumentException("La palabra '" + palabra.getTermino() + "' ya existe.");
                     }
+                    throw new IllegalArgumentException("Error al guardar la palabra: " + e.getMessage());
+                }
 
-                    // Actualizar la palabra existente con los nuevos detalles.
-                    existingPalabra.setTermino(palabra.getTermino());
-                    existingPalabra.setCategoriaGramatical(palabra.getCategoriaGramatical());
+                if (actualizadas == 0) {
+                    return Optional.<Palabra>empty();
+                }
+                Palabra updatedPalabra = new Palabra(palabra.getId(), palabra.getTermino(), palabra.getCategoriaGramatical());
+                estadisticasService.registrarPalabraActualizada(terminoAnterior, categoriaAnterior, updatedPalabra);
+                return Optional.of(updatedPalabra);
+            });
 
-                    // Guardar la palabra actualizada.
-                    return palabraRepository.save(existingPalabra);
-                })
-                .orElseThrow(() -> new RecordNotFoundException("No existe Palabra con el id: ", palabra.getId()));
+            if (resultado.isPresent()) {
+                // Se vuelve a leer la palabra actualizada, junto con sus definiciones.
+                return palabraRepository.findById(id)
+                        .orElseThrow(() -> new RecordNotFoundException("No existe Palabra con el id: ", palabra.getId()));
+            }
+            esperarAntesDeReintentar(intento, palabra.getTermino());
+        }
     }
 
     /* Este metodo elimina una palabra por su ID.
      Si la palabra no se encuentra en la base de datos, lanza una excepción `RecordNotFoundException`.*/
     public void deletePalabra(Long id) throws RecordNotFoundException {
-        // Verificar si la palabra con el ID dado existe en la base de datos.
-        if (!palabraRepository.existsById(id)) {
-            throw new RecordNotFoundException("No existe Palabra con el id: ", id);
+        estadisticasService.escribir(() -> {
+            // Verificar si la palabra con el ID dado existe en la base de datos.
+            // Se carga la palabra porque las estadísticas necesitan su término y categoría.
+            Palabra palabra = palabraRepository.findById(id)
+                    .orElseThrow(() -> new RecordNotFoundException("No existe Palabra con el id: ", id));
+            // Eliminar la palabra ya cargada.
+            palabraRepository.delete(palabra);
+            estadisticasService.registrarPalabraEliminada(palabra);
+        });
+    }
+
+    // Comprueba las restricciones de la entidad (@NotNull, @Size) antes de una consulta nativa.
+    private void validar(Palabra palabra) {
+        Set<ConstraintViolation<Palabra>> errores = validator.validate(palabra);
+        if (!errores.isEmpty()) {
+            ConstraintViolation<Palabra> error = errores.iterator().next();
+            throw new IllegalArgumentException("Error al guardar la palabra: " + error.getPropertyPath() + " " + error.getMessage());
+        }
+    }
+
+    // Espera un tiempo aleatorio y creciente antes del siguiente intento, fuera del bloqueo de las estadísticas,
+    // para que los escritores que compiten por la misma palabra no vuelvan a coincidir.
+    private void esperarAntesDeReintentar(int intento, String termino) {
+        if (intento >= MAX_INTENTOS) {
+            throw new ConcurrencyFailureException("La palabra '" + termino + "' se está modificando en paralelo; inténtelo de nuevo.");
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L << intento));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyFailureException("Se ha interrumpido la actualización de la palabra '" + termino + "'.", e);
         }
-        // Eliminar la palabra por su ID.
-        palabraRepository.deleteById(id);
     }
 
     /* Este metodo busca todas las palabras asociadas a una categoría gramatical.
@@ -0,0 +1,81 @@
+package com.github.alvader01.api_diccionario.Controllers;
+
+import com.github.alvader01.api_diccionario.Config.IdempotenciaFilter;
+import com.github.alvader01.api_diccionario.Entities.Definicion;
+import com.github.alvader01.api_diccionario.Services.DefinicionService;
+import com.github.alvader01.api_diccionario.Services.IdempotenciaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class DefinicionControllerTest {
+
+    @Mock
+    private DefinicionService definicionService;
+
+    @InjectMocks
+    private DefinicionController definicionController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        IdempotenciaService idempotenciaService = new IdempotenciaService();
+        ReflectionTestUtils.setField(idempotenciaService, "capacidad", 10);
+        ReflectionTestUtils.setField(definicionController, "idempotenciaService", idempotenciaService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(definicionController)
+                .addFilters(new IdempotenciaFilter())
+                .build();
+    }
+
+    @Test
+    void unReintentoConLaMismaClaveNoVuelveACrearLaPalabra() throws Exception {
+        when(definicionService.createPalabraConDefiniciones(any(Definicion.class))).thenReturn(new Definicion());
+        String cuerpo = cuerpo("casa");
+
+        mockMvc.perform(post("/definiciones/con-definiciones").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/definiciones/con-definiciones").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaService.CABECERA_REPETIDA, "true"));
+
+        verify(definicionService, times(1)).createPalabraConDefiniciones(any(Definicion.class));
+    }
+
+    @Test
+    void otraPalabraConLaMismaClaveDevuelve422() throws Exception {
+        // La palabra no se serializa al convertir la definición a JSON, pero sí cambia el cuerpo enviado.
+        when(definicionService.createPalabraConDefiniciones(any(Definicion.class))).thenReturn(new Definicion());
+
+        mockMvc.perform(post("/definiciones/con-definiciones").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo("casa")))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/definiciones/con-definiciones").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo("hogar")))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(definicionService, times(1)).createPalabraConDefiniciones(any(Definicion.class));
+    }
+
+    private static String cuerpo(String termino) {
+        return "{\"descripcion\":\"Edificio para habitar\",\"ejemplo\":\"Vivo en una casa\"," +
+                "\"palabra\":{\"termino\":\"" + termino + "\",\"categoriaGramatical\":\"sustantivo\"}}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.alvader01.api_diccionario.Controllers;
+
+import com.github.alvader01.api_diccionario.Config.IdempotenciaFilter;
+import com.github.alvader01.api_diccionario.DTO.UpsertPalabraDTO;
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+import com.github.alvader01.api_diccionario.Services.IdempotenciaService;
+import com.github.alvader01.api_diccionario.Services.PalabraService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class PalabraControllerTest {
+
+    @Mock
+    private PalabraService palabraService;
+
+    @InjectMocks
+    private PalabraController palabraController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        IdempotenciaService idempotenciaService = new IdempotenciaService();
+        ReflectionTestUtils.setField(idempotenciaService, "capacidad", 10);
+        ReflectionTestUtils.setField(palabraController, "idempotenciaService", idempotenciaService);
+
+        mockMvc = MockMvcBuilders.standaloneSetup(palabraController)
+                .addFilters(new IdempotenciaFilter())
+                .build();
+    }
+
+    @Test
+    void unReintentoConLaMismaClaveNoVuelveACrearLaPalabra() throws Exception {
+        when(palabraService.createPalabra(any(Palabra.class))).thenReturn(new Palabra(1, "casa", "sustantivo"));
+        String cuerpo = "{\"termino\":\"casa\",\"categoriaGramatical\":\"sustantivo\"}";
+
+        mockMvc.perform(post("/palabras").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaService.CABECERA_REPETIDA));
+        mockMvc.perform(post("/palabras").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaService.CABECERA_REPETIDA, "true"));
+
+        verify(palabraService, times(1)).createPalabra(any(Palabra.class));
+    }
+
+    @Test
+    void unaClaveReutilizadaConOtroCuerpoDevuelve422() throws Exception {
+        when(palabraService.createPalabra(any(Palabra.class))).thenReturn(new Palabra(1, "casa", "sustantivo"));
+
+        mockMvc.perform(post("/palabras").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"termino\":\"casa\",\"categoriaGramatical\":\"sustantivo\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/palabras").header(IdempotenciaService.CABECERA, "k1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"termino\":\"perro\",\"categoriaGramatical\":\"sustantivo\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(palabraService, times(1)).createPalabra(any(Palabra.class));
+    }
+
+    @Test
+    void sinClaveCadaPeticionCreaLaPalabra() throws Exception {
+        when(palabraService.createPalabra(any(Palabra.class))).thenReturn(new Palabra(1, "casa", "sustantivo"));
+        String cuerpo = "{\"termino\":\"casa\",\"categoriaGramatical\":\"sustantivo\"}";
+
+        mockMvc.perform(post("/palabras").contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/palabras").contentType(MediaType.APPLICATION_JSON).content(cuerpo))
+                .andExpect(status().isCreated());
+
+        verify(palabraService, times(2)).createPalabra(any(Palabra.class));
+    }
+
+    @Test
+    void upsertDevuelve201AlCrearY200AlActualizar() {
+        when(palabraService.upsertPalabra(any(Palabra.class))).thenReturn(
+                new UpsertPalabraDTO(new Palabra(1, "casa", "sustantivo"), true),
+                new UpsertPalabraDTO(new Palabra(1, "casa", "verbo"), false));
+
+        assertEquals(HttpStatus.CREATED,
+                palabraController.upsertPalabra("casa", new Palabra(null, null, "sustantivo")).getStatusCode());
+        assertEquals(HttpStatus.OK,
+                palabraController.upsertPalabra("casa", new Palabra(null, null, "verbo")).getStatusCode());
+    }
+}
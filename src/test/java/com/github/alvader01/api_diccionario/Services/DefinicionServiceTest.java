@@ -0,0 +1,143 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import com.github.alvader01.api_diccionario.Entities.Definicion;
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
+import com.github.alvader01.api_diccionario.Repositories.DefinicionRepository;
+import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefinicionServiceTest {
+
+    @Mock
+    private DefinicionRepository definicionRepository;
+
+    @Mock
+    private PalabraRepository palabraRepository;
+
+    @Mock
+    private EstadisticasService estadisticasService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DefinicionService definicionService;
+
+    @BeforeEach
+    void setUp() {
+        // Las escrituras se ejecutan directamente, sin el bloqueo de las estadísticas.
+        lenient().when(estadisticasService.escribir(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(estadisticasService).escribir(any(Runnable.class));
+    }
+
+    @Test
+    void addDefinicionIgnoraElIdRecibidoYRegistraLaDefinicion() {
+        when(palabraRepository.findById(1L)).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(definicionRepository.save(any(Definicion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        definicionService.addDefinicion(1L, definicion(7, null));
+
+        ArgumentCaptor<Definicion> guardada = ArgumentCaptor.forClass(Definicion.class);
+        verify(definicionRepository).save(guardada.capture());
+        assertNull(guardada.getValue().getId());
+        verify(estadisticasService).registrarDefinicionCreada(1);
+    }
+
+    @Test
+    void addDefinicionDeUnaPalabraInexistenteNoRegistraNada() {
+        when(palabraRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(RecordNotFoundException.class, () -> definicionService.addDefinicion(1L, definicion(null, null)));
+
+        verifyNoInteractions(definicionRepository);
+        verify(estadisticasService, never()).registrarDefinicionCreada(any());
+    }
+
+    @Test
+    void deleteDefinicionRegistraLaDefinicionEliminada() {
+        Definicion definicion = definicion(3, new Palabra(1, "casa", "sustantivo"));
+        when(definicionRepository.findById(3L)).thenReturn(Optional.of(definicion));
+
+        definicionService.deleteDefinicion(3L);
+
+        verify(definicionRepository).delete(definicion);
+        verify(estadisticasService).registrarDefinicionEliminada(1);
+    }
+
+    @Test
+    void createPalabraConDefinicionesIgnoraLosIdsRecibidos() {
+        Palabra palabra = new Palabra(5, "casa", "sustantivo");
+        when(palabraRepository.save(any(Palabra.class))).thenAnswer(invocation -> {
+            Palabra guardada = invocation.getArgument(0);
+            assertNull(guardada.getId());
+            return new Palabra(10, guardada.getTermino(), guardada.getCategoriaGramatical());
+        });
+        when(definicionRepository.save(any(Definicion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Definicion creada = definicionService.createPalabraConDefiniciones(definicion(7, palabra));
+
+        assertNull(creada.getId());
+        assertEquals(10, creada.getPalabra().getId());
+        verify(transactionManager).commit(any());
+        verify(estadisticasService).registrarPalabraCreada(creada.getPalabra());
+        verify(estadisticasService).registrarDefinicionCreada(10);
+    }
+
+    @Test
+    void createPalabraConDefinicionesDeshaceLaPalabraSiFallaLaDefinicion() {
+        when(palabraRepository.save(any(Palabra.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(definicionRepository.save(any(Definicion.class))).thenThrow(new DataIntegrityViolationException("Data too long"));
+        when(palabraRepository.existsByTermino("casa")).thenReturn(false);
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> definicionService.createPalabraConDefiniciones(definicion(null, new Palabra(null, "casa", "sustantivo"))));
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        verify(estadisticasService, never()).registrarPalabraCreada(any());
+        verify(estadisticasService, never()).registrarDefinicionCreada(any());
+    }
+
+    @Test
+    void createPalabraConDefinicionesDeUnaPalabraExistenteLanzaYaExiste() {
+        when(palabraRepository.save(any(Palabra.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(palabraRepository.existsByTermino("casa")).thenReturn(true);
+
+        RecordNotFoundException e = assertThrows(RecordNotFoundException.class,
+                () -> definicionService.createPalabraConDefiniciones(definicion(null, new Palabra(null, "casa", "sustantivo"))));
+
+        assertEquals("La palabra 'casa' ya existe.", e.getMessage());
+        verifyNoInteractions(definicionRepository);
+        verify(estadisticasService, never()).registrarPalabraCreada(any());
+    }
+
+    private static Definicion definicion(Integer id, Palabra palabra) {
+        Definicion definicion = new Definicion();
+        definicion.setId(id);
+        definicion.setDescripcion("Edificio para habitar");
+        definicion.setEjemplo("Vivo en una casa");
+        definicion.setPalabra(palabra);
+        return definicion;
+    }
+}
@@ -0,0 +1,243 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import com.github.alvader01.api_diccionario.DTO.EstadisticasDTO;
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+import com.github.alvader01.api_diccionario.Exceptions.RecordNotFoundException;
+import com.github.alvader01.api_diccionario.Repositories.DefinicionRepository;
+import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EstadisticasServiceTest {
+
+    @Mock
+    private PalabraRepository palabraRepository;
+
+    @Mock
+    private DefinicionRepository definicionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private EstadisticasService estadisticasService;
+
+    @Test
+    void facetasCuentanPalabrasPorCategoriaInicialYLongitud() {
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarPalabra("casa", "sustantivo", 1);
+        facetas.sumarPalabra("correr", "verbo", 1);
+        facetas.sumarPalabra("árbol", "sustantivo", 1);
+
+        EstadisticasDTO dto = facetas.toDTO();
+
+        assertEquals(3, dto.getTotalPalabras());
+        assertEquals(Map.of("sustantivo", 2L, "verbo", 1L), dto.getPalabrasPorCategoria());
+        assertEquals(Map.of("A", 1L, "C", 2L), dto.getPalabrasPorInicial());
+        assertEquals(Map.of(4, 1L, 5, 1L, 6, 1L), dto.getPalabrasPorLongitud());
+        assertEquals(3, dto.getPalabrasSinDefiniciones());
+    }
+
+    @Test
+    void facetasEliminanLasEntradasQueVuelvenACero() {
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarPalabra("casa", "sustantivo", 1);
+        facetas.sumarPalabra("casa", "sustantivo", -1);
+
+        EstadisticasDTO dto = facetas.toDTO();
+
+        assertEquals(0, dto.getTotalPalabras());
+        assertTrue(dto.getPalabrasPorCategoria().isEmpty());
+        assertTrue(dto.getPalabrasPorInicial().isEmpty());
+        assertTrue(dto.getPalabrasPorLongitud().isEmpty());
+    }
+
+    @Test
+    void facetasAdmitenCambiosRegistradosEnDistintoOrden() {
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarDefiniciones(1, -1);
+        facetas.sumarDefiniciones(1, 1);
+
+        assertEquals(0, facetas.definicionesDePalabra(1));
+        assertTrue(facetas.toDTO().getPalabrasPorNumeroDefiniciones().isEmpty());
+        assertEquals(0, facetas.toDTO().getTotalDefiniciones());
+    }
+
+    @Test
+    void facetasMantienenElHistogramaDeDefiniciones() {
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarPalabra("casa", "sustantivo", 1);
+        facetas.sumarPalabra("perro", "sustantivo", 1);
+        facetas.sumarPalabra("correr", "verbo", 1);
+        facetas.sumarDefiniciones(1, 2);
+        facetas.sumarDefiniciones(2, 1);
+        facetas.sumarDefiniciones(2, 1);
+
+        EstadisticasDTO dto = facetas.toDTO();
+        assertEquals(4, dto.getTotalDefiniciones());
+        assertEquals(Map.of(2L, 2L), dto.getPalabrasPorNumeroDefiniciones());
+        assertEquals(1, dto.getPalabrasSinDefiniciones());
+
+        facetas.sumarDefiniciones(1, -1);
+        facetas.eliminarDefiniciones(2);
+
+        dto = facetas.toDTO();
+        assertEquals(1, dto.getTotalDefiniciones());
+        assertEquals(Map.of(1L, 1L), dto.getPalabrasPorNumeroDefiniciones());
+        assertEquals(0, facetas.definicionesDePalabra(2));
+    }
+
+    @Test
+    void combinarSumaLosContadoresDeAmbasFacetas() {
+        EstadisticasService.Facetas izquierda = new EstadisticasService.Facetas();
+        izquierda.sumarPalabra("casa", "sustantivo", 1);
+        EstadisticasService.Facetas derecha = new EstadisticasService.Facetas();
+        derecha.sumarPalabra("cosa", "sustantivo", 1);
+        derecha.sumarPalabra("ir", "verbo", 1);
+
+        EstadisticasDTO dto = izquierda.combinar(derecha).toDTO();
+
+        assertEquals(3, dto.getTotalPalabras());
+        assertEquals(Map.of("sustantivo", 2L, "verbo", 1L), dto.getPalabrasPorCategoria());
+        assertEquals(Map.of("C", 2L, "I", 1L), dto.getPalabrasPorInicial());
+    }
+
+    @Test
+    void contarAgrupaLasConsultasYDivideLasDefiniciones() {
+        List<Object[]> definiciones = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            definiciones.add(new Object[]{i, i % 2 == 0 ? 1L : 2L});
+        }
+
+        EstadisticasDTO dto = EstadisticasService.contar(
+                List.<Object[]>of(new Object[]{"sustantivo", 15_000L}, new Object[]{"verbo", 5_000L}),
+                List.<Object[]>of(new Object[]{"a", 1L}, new Object[]{"Á", 2L}, new Object[]{"p", 19_997L}),
+                List.<Object[]>of(new Object[]{4, 20_000L}),
+                definiciones).toDTO();
+
+        assertEquals(20_000, dto.getTotalPalabras());
+        assertEquals(Map.of("sustantivo", 15_000L, "verbo", 5_000L), dto.getPalabrasPorCategoria());
+        assertEquals(Map.of("A", 3L, "P", 19_997L), dto.getPalabrasPorInicial());
+        assertEquals(Map.of(4, 20_000L), dto.getPalabrasPorLongitud());
+        assertEquals(15_000, dto.getTotalDefiniciones());
+        assertEquals(Map.of(1L, 5_000L, 2L, 5_000L), dto.getPalabrasPorNumeroDefiniciones());
+        assertEquals(10_000, dto.getPalabrasSinDefiniciones());
+    }
+
+    @Test
+    void toDTODevuelveUnaCopiaQueNoCambiaConLasEscrituras() {
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarPalabra("casa", "sustantivo", 1);
+
+        EstadisticasDTO dto = facetas.toDTO();
+        facetas.aplicar(actuales -> actuales.sumarPalabra("correr", "verbo", 1));
+
+        assertEquals(1, dto.getTotalPalabras());
+        assertEquals(Map.of("sustantivo", 1L), dto.getPalabrasPorCategoria());
+        assertEquals(Map.of("C", 1L), dto.getPalabrasPorInicial());
+    }
+
+    @Test
+    void palabrasSinDefinicionesNoEsNegativo() {
+        // La definición se registra antes que su palabra.
+        EstadisticasService.Facetas facetas = new EstadisticasService.Facetas();
+        facetas.sumarDefiniciones(1, 1);
+
+        assertEquals(0, facetas.toDTO().getPalabrasSinDefiniciones());
+    }
+
+    @Test
+    void inicialIgnoraTildesYMayusculas() {
+        assertEquals("A", EstadisticasService.inicial("Árbol"));
+        assertEquals("A", EstadisticasService.inicial("agua"));
+        assertEquals("N", EstadisticasService.inicial("ñandú"));
+        assertNull(EstadisticasService.inicial(""));
+    }
+
+    @Test
+    void lasEscriturasSeAplicanDespuesDeInicializar() {
+        when(palabraRepository.countPorCategoria()).thenReturn(List.<Object[]>of(new Object[]{"sustantivo", 1L}));
+        when(palabraRepository.countPorInicial()).thenReturn(List.<Object[]>of(new Object[]{"c", 1L}));
+        when(palabraRepository.countPorLongitud()).thenReturn(List.<Object[]>of(new Object[]{4, 1L}));
+        when(definicionRepository.countDefinicionesPorPalabra()).thenReturn(List.of());
+
+        assertEquals(1, estadisticasService.getEstadisticas().getTotalPalabras());
+
+        estadisticasService.escribir(() -> estadisticasService.registrarPalabraCreada(new Palabra(2, "perro", "sustantivo")));
+        estadisticasService.escribir(() -> estadisticasService.registrarDefinicionCreada(2));
+
+        EstadisticasDTO dto = estadisticasService.getEstadisticas();
+        assertEquals(2, dto.getTotalPalabras());
+        assertEquals(1, dto.getTotalDefiniciones());
+        when(palabraRepository.existsById(2L)).thenReturn(true);
+        assertEquals(1, estadisticasService.getDefinicionesDePalabra(2L));
+    }
+
+    @Test
+    void lasDefinicionesDeUnaPalabraInexistenteLanzanRecordNotFound() {
+        when(palabraRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(RecordNotFoundException.class, () -> estadisticasService.getDefinicionesDePalabra(99L));
+    }
+
+    @Test
+    void laReconstruccionLeeEnUnaTransaccionRepeatableRead() {
+        when(palabraRepository.countPorCategoria()).thenReturn(List.of());
+        when(palabraRepository.countPorInicial()).thenReturn(List.of());
+        when(palabraRepository.countPorLongitud()).thenReturn(List.of());
+        when(definicionRepository.countDefinicionesPorPalabra()).thenReturn(List.of());
+
+        estadisticasService.getEstadisticas();
+
+        verify(transactionManager).getTransaction(argThat(definicion -> definicion.isReadOnly()
+                && definicion.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    @Test
+    void lasEscriturasNoEsperanNiSePierdenDuranteLasConsultasDeLaReconstruccion() throws Exception {
+        CountDownLatch contando = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+
+        // La consulta se detiene hasta que el test lo permite.
+        when(palabraRepository.countPorCategoria()).thenAnswer(invocation -> {
+            contando.countDown();
+            continuar.await(5, TimeUnit.SECONDS);
+            return List.<Object[]>of(new Object[]{"sustantivo", 1L});
+        });
+        when(palabraRepository.countPorInicial()).thenReturn(List.<Object[]>of(new Object[]{"c", 1L}));
+        when(palabraRepository.countPorLongitud()).thenReturn(List.<Object[]>of(new Object[]{4, 1L}));
+        when(definicionRepository.countDefinicionesPorPalabra()).thenReturn(List.of());
+
+        CompletableFuture<EstadisticasDTO> inicial = CompletableFuture.supplyAsync(estadisticasService::getEstadisticas);
+        assertTrue(contando.await(5, TimeUnit.SECONDS));
+
+        // La vista ya está fijada; esta escritura no debe esperar a las consultas y debe aplicarse al publicar.
+        CompletableFuture<Void> escritura = CompletableFuture.runAsync(() -> estadisticasService.escribir(
+                () -> estadisticasService.registrarPalabraCreada(new Palabra(2, "verde", "adjetivo"))));
+        escritura.get(5, TimeUnit.SECONDS);
+        assertFalse(inicial.isDone());
+        continuar.countDown();
+
+        EstadisticasDTO dto = inicial.get(5, TimeUnit.SECONDS);
+        assertEquals(2, dto.getTotalPalabras());
+        assertEquals(Map.of("adjetivo", 1L, "sustantivo", 1L), dto.getPalabrasPorCategoria());
+    }
+}
@@ -0,0 +1,259 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaServiceTest {
+
+    private static final byte[] CASA = cuerpo("{\"termino\":\"casa\"}");
+
+    private IdempotenciaService idempotenciaService;
+
+    private ExecutorService hilos;
+
+    @BeforeEach
+    void setUp() {
+        idempotenciaService = new IdempotenciaService();
+        ReflectionTestUtils.setField(idempotenciaService, "capacidad", 2);
+        hilos = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void sinClaveSeEjecutaSiempre() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        idempotenciaService.ejecutar("POST /palabras", null, CASA, creada(ejecuciones));
+        idempotenciaService.ejecutar("POST /palabras", null, CASA, creada(ejecuciones));
+
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void unReintentoDevuelveLaRespuestaOriginal() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        ResponseEntity<String> original = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        ResponseEntity<String> repetida = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(original.getBody(), repetida.getBody());
+        assertEquals("true", repetida.getHeaders().getFirst(IdempotenciaService.CABECERA_REPETIDA));
+        assertNull(original.getHeaders().getFirst(IdempotenciaService.CABECERA_REPETIDA));
+    }
+
+    @Test
+    void laMismaClaveEnOtraOperacionNoSeRepite() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        idempotenciaService.ejecutar("POST /definiciones/con-definiciones", "k1", CASA, creada(ejecuciones));
+
+        assertEquals(2, ejecuciones.get());
+    }
+
+    @Test
+    void unaClaveReutilizadaConOtroCuerpoDevuelve422() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        ResponseEntity<String> respuesta =
+                idempotenciaService.ejecutar("POST /palabras", "k1", cuerpo("{\"termino\":\"perro\"}"), creada(ejecuciones));
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, respuesta.getStatusCode());
+    }
+
+    @Test
+    void unaClaveEnCursoDevuelve409SinEsperar() throws Exception {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch terminar = new CountDownLatch(1);
+
+        Future<ResponseEntity<String>> primera = hilos.submit(() ->
+                idempotenciaService.ejecutar("POST /palabras", "k1", CASA, bloqueada(ejecuciones, enCurso, terminar)));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        ResponseEntity<String> reintento = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        assertEquals(HttpStatus.CONFLICT, reintento.getStatusCode());
+
+        terminar.countDown();
+        assertEquals(HttpStatus.CREATED, primera.get(5, TimeUnit.SECONDS).getStatusCode());
+
+        ResponseEntity<String> repetida = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        assertEquals(HttpStatus.CREATED, repetida.getStatusCode());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void lasRespuestas5xxNoSeGuardan() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        idempotenciaService.ejecutar("POST /palabras", "k1", CASA, () -> {
+            ejecuciones.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        });
+        ResponseEntity<String> reintento = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, reintento.getStatusCode());
+    }
+
+    @Test
+    void lasExcepcionesNoSeGuardan() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () ->
+                idempotenciaService.ejecutar("POST /palabras", "k1", CASA, () -> {
+                    ejecuciones.incrementAndGet();
+                    throw new IllegalStateException("fallo");
+                }));
+        ResponseEntity<String> reintento = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+
+        assertEquals(2, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, reintento.getStatusCode());
+    }
+
+    @Test
+    void seDescartanLasClavesTerminadasMasAntiguas() {
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        idempotenciaService.ejecutar("POST /palabras", "k2", CASA, creada(ejecuciones));
+        idempotenciaService.ejecutar("POST /palabras", "k3", CASA, creada(ejecuciones));
+        assertEquals(3, ejecuciones.get());
+
+        // k3 sigue guardada; k1 se ha descartado y se vuelve a ejecutar.
+        idempotenciaService.ejecutar("POST /palabras", "k3", CASA, creada(ejecuciones));
+        assertEquals(3, ejecuciones.get());
+        idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecuciones));
+        assertEquals(4, ejecuciones.get());
+    }
+
+    @Test
+    void noSeDescartanLasClavesEnCurso() throws Exception {
+        ReflectionTestUtils.setField(idempotenciaService, "capacidad", 1);
+        AtomicInteger ejecucionesK1 = new AtomicInteger();
+        AtomicInteger otras = new AtomicInteger();
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch terminar = new CountDownLatch(1);
+
+        Future<ResponseEntity<String>> primera = hilos.submit(() ->
+                idempotenciaService.ejecutar("POST /palabras", "k1", CASA, bloqueada(ejecucionesK1, enCurso, terminar)));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // Se supera la capacidad mientras k1 sigue en curso.
+        for (int i = 0; i < 10; i++) {
+            idempotenciaService.ejecutar("POST /palabras", "otra" + i, CASA, creada(otras));
+        }
+
+        ResponseEntity<String> reintento = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecucionesK1));
+        assertEquals(HttpStatus.CONFLICT, reintento.getStatusCode());
+
+        terminar.countDown();
+        primera.get(5, TimeUnit.SECONDS);
+
+        ResponseEntity<String> repetida = idempotenciaService.ejecutar("POST /palabras", "k1", CASA, creada(ejecucionesK1));
+        assertEquals("true", repetida.getHeaders().getFirst(IdempotenciaService.CABECERA_REPETIDA));
+        assertEquals(1, ejecucionesK1.get());
+    }
+
+    @Test
+    void reintentosConcurrentesEjecutanLaOperacionUnaSolaVez() throws Exception {
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<ResponseEntity<String>>> respuestas = new ArrayList<>();
+
+        for (int i = 0; i < 16; i++) {
+            respuestas.add(hilos.submit(() -> {
+                salida.await();
+                return idempotenciaService.ejecutar("POST /palabras", "k1", CASA, () -> {
+                    ejecuciones.incrementAndGet();
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ResponseEntity.status(HttpStatus.CREATED).body("creada");
+                });
+            }));
+        }
+        salida.countDown();
+
+        for (Future<ResponseEntity<String>> respuesta : respuestas) {
+            HttpStatus estado = HttpStatus.valueOf(respuesta.get(5, TimeUnit.SECONDS).getStatusCode().value());
+            assertTrue(estado == HttpStatus.CREATED || estado == HttpStatus.CONFLICT, estado.toString());
+        }
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    void cuerpoDevuelveLosBytesEnviadosAunqueNoSeHayanLeidoEnteros() throws IOException {
+        // Definicion.palabra no se serializa con Jackson, pero sí forma parte del cuerpo original.
+        byte[] enviado = cuerpo("{\"descripcion\":\"d\",\"ejemplo\":\"e\",\"palabra\":{\"termino\":\"casa\"}}");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/definiciones/con-definiciones");
+        request.addHeader(IdempotenciaService.CABECERA, "k1");
+        request.setContent(enviado);
+        ContentCachingRequestWrapper copia = new ContentCachingRequestWrapper(request);
+        copia.getInputStream().read(new byte[10]);
+
+        assertArrayEquals(enviado, IdempotenciaService.cuerpo(copia));
+    }
+
+    @Test
+    void cuerpoSinCopiaFallaSoloSiHayClave() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/palabras");
+        request.setContent(CASA);
+        assertEquals(0, IdempotenciaService.cuerpo(request).length);
+
+        request.addHeader(IdempotenciaService.CABECERA, "k1");
+        assertThrows(IllegalStateException.class, () -> IdempotenciaService.cuerpo(request));
+    }
+
+    private static byte[] cuerpo(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Supplier<ResponseEntity<String>> creada(AtomicInteger ejecuciones) {
+        return () -> ResponseEntity.status(HttpStatus.CREATED).body("creada " + ejecuciones.incrementAndGet());
+    }
+
+    // Operación que avisa cuando empieza y no termina hasta que el test lo permite.
+    private static Supplier<ResponseEntity<String>> bloqueada(AtomicInteger ejecuciones, CountDownLatch enCurso, CountDownLatch terminar) {
+        return () -> {
+            ejecuciones.incrementAndGet();
+            enCurso.countDown();
+            try {
+                terminar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body("creada");
+        };
+    }
+}
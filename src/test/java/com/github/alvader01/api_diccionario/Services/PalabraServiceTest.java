@@ -0,0 +1,239 @@
+package com.github.alvader01.api_diccionario.Services;
+
+import com.github.alvader01.api_diccionario.DTO.UpsertPalabraDTO;
+import com.github.alvader01.api_diccionario.Entities.Palabra;
+import com.github.alvader01.api_diccionario.Repositories.PalabraRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PalabraServiceTest {
+
+    @Mock
+    private PalabraRepository palabraRepository;
+
+    @Mock
+    private EstadisticasService estadisticasService;
+
+    @InjectMocks
+    private PalabraService palabraService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(palabraService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+
+        // Las escrituras se ejecutan directamente, sin el bloqueo de las estadísticas.
+        lenient().when(estadisticasService.escribir(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+        lenient().doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(estadisticasService).escribir(any(Runnable.class));
+    }
+
+    @Test
+    void createPalabraIgnoraElIdRecibidoYRegistraLaPalabra() {
+        when(palabraRepository.save(any(Palabra.class))).thenAnswer(invocation -> {
+            Palabra palabra = invocation.getArgument(0);
+            return new Palabra(10, palabra.getTermino(), palabra.getCategoriaGramatical());
+        });
+
+        Palabra creada = palabraService.createPalabra(new Palabra(1, "casa", "sustantivo"));
+
+        ArgumentCaptor<Palabra> guardada = ArgumentCaptor.forClass(Palabra.class);
+        verify(palabraRepository).save(guardada.capture());
+        assertNull(guardada.getValue().getId());
+        assertEquals(10, creada.getId());
+        verify(estadisticasService).registrarPalabraCreada(creada);
+    }
+
+    @Test
+    void createPalabraDuplicadaLanzaYaExisteSinRegistrar() {
+        when(palabraRepository.save(any(Palabra.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(palabraRepository.existsByTermino("casa")).thenReturn(true);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> palabraService.createPalabra(new Palabra(null, "casa", "sustantivo")));
+
+        assertEquals("La palabra 'casa' ya existe.", e.getMessage());
+        verify(estadisticasService, never()).registrarPalabraCreada(any());
+    }
+
+    @Test
+    void createPalabraConOtroErrorNoLoTrataComoDuplicado() {
+        when(palabraRepository.save(any(Palabra.class))).thenThrow(new DataIntegrityViolationException("Data too long"));
+        when(palabraRepository.existsByTermino("casa")).thenReturn(false);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> palabraService.createPalabra(new Palabra(null, "casa", "sustantivo")));
+
+        assertTrue(e.getMessage().startsWith("Error al guardar la palabra"), e.getMessage());
+    }
+
+    @Test
+    void updatePalabraVuelveALeerSiOtroEscritorLaHaCambiado() {
+        when(palabraRepository.findById(1L)).thenReturn(
+                Optional.of(new Palabra(1, "casa", "sustantivo")),
+                Optional.of(new Palabra(1, "casa", "verbo")),
+                Optional.of(new Palabra(1, "hogar", "sustantivo")));
+        when(palabraRepository.updateSiNoHaCambiado(1L, "hogar", "sustantivo", "casa", "sustantivo")).thenReturn(0);
+        when(palabraRepository.updateSiNoHaCambiado(1L, "hogar", "sustantivo", "casa", "verbo")).thenReturn(1);
+
+        Palabra actualizada = palabraService.updatePalabra(new Palabra(1, "hogar", "sustantivo"));
+
+        assertEquals("hogar", actualizada.getTermino());
+        verify(estadisticasService).registrarPalabraActualizada(eq("casa"), eq("verbo"), any(Palabra.class));
+        verify(estadisticasService, times(1)).registrarPalabraActualizada(anyString(), anyString(), any(Palabra.class));
+    }
+
+    @Test
+    void updatePalabraSeRindeTrasElMaximoDeIntentos() {
+        when(palabraRepository.findById(1L)).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(palabraRepository.updateSiNoHaCambiado(anyLong(), anyString(), anyString(), anyString(), anyString())).thenReturn(0);
+
+        assertThrows(ConcurrencyFailureException.class,
+                () -> palabraService.updatePalabra(new Palabra(1, "hogar", "sustantivo")));
+
+        verify(palabraRepository, times(PalabraService.MAX_INTENTOS))
+                .updateSiNoHaCambiado(anyLong(), anyString(), anyString(), anyString(), anyString());
+        verify(estadisticasService, never()).registrarPalabraActualizada(any(), any(), any());
+    }
+
+    @Test
+    void updatePalabraValidaAntesDeLaConsultaNativa() {
+        assertThrows(IllegalArgumentException.class,
+                () -> palabraService.updatePalabra(new Palabra(1, null, "sustantivo")));
+        assertThrows(IllegalArgumentException.class,
+                () -> palabraService.updatePalabra(new Palabra(1, "casa", "s".repeat(51))));
+        assertThrows(IllegalArgumentException.class,
+                () -> palabraService.updatePalabra(new Palabra(null, "casa", "sustantivo")));
+
+        verifyNoInteractions(palabraRepository);
+    }
+
+    @Test
+    void updatePalabraSoloDiceYaExisteSiOtraPalabraTieneElTermino() {
+        when(palabraRepository.findById(1L)).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(palabraRepository.updateSiNoHaCambiado(anyLong(), anyString(), anyString(), anyString(), anyString()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(palabraRepository.findByTermino("perro")).thenReturn(Optional.of(new Palabra(2, "perro", "sustantivo")));
+
+        IllegalArgumentException duplicada = assertThrows(IllegalArgumentException.class,
+                () -> palabraService.updatePalabra(new Palabra(1, "perro", "sustantivo")));
+        assertEquals("La palabra 'perro' ya existe.", duplicada.getMessage());
+
+        when(palabraRepository.findByTermino("perro")).thenReturn(Optional.empty());
+
+        IllegalArgumentException otroError = assertThrows(IllegalArgumentException.class,
+                () -> palabraService.updatePalabra(new Palabra(1, "perro", "sustantivo")));
+        assertTrue(otroError.getMessage().startsWith("Error al guardar la palabra"), otroError.getMessage());
+        verify(estadisticasService, never()).registrarPalabraActualizada(any(), any(), any());
+    }
+
+    @Test
+    void upsertPalabraExistenteNoIntentaInsertar() {
+        when(palabraRepository.findByTermino("casa")).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(palabraRepository.updateSiNoHaCambiado(1L, "casa", "verbo", "casa", "sustantivo")).thenReturn(1);
+
+        UpsertPalabraDTO resultado = palabraService.upsertPalabra(new Palabra(null, "casa", "verbo"));
+
+        assertFalse(resultado.isCreada());
+        assertEquals("verbo", resultado.getPalabra().getCategoriaGramatical());
+        verify(palabraRepository, never()).save(any());
+        verify(palabraRepository, never()).findById(anyLong());
+        verify(estadisticasService).registrarPalabraActualizada(eq("casa"), eq("sustantivo"), any(Palabra.class));
+    }
+
+    @Test
+    void upsertPalabraConLaMismaCategoriaNoEscribe() {
+        when(palabraRepository.findByTermino("casa")).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+
+        UpsertPalabraDTO resultado = palabraService.upsertPalabra(new Palabra(null, "casa", "sustantivo"));
+
+        assertFalse(resultado.isCreada());
+        verify(palabraRepository, never()).updateSiNoHaCambiado(any(), any(), any(), any(), any());
+        verify(palabraRepository, never()).save(any());
+        verify(estadisticasService, never()).registrarPalabraActualizada(any(), any(), any());
+    }
+
+    @Test
+    void upsertPalabraNuevaSeCreaIgnorandoElId() {
+        when(palabraRepository.findByTermino("casa")).thenReturn(Optional.empty());
+        when(palabraRepository.save(any(Palabra.class))).thenAnswer(invocation -> {
+            Palabra palabra = invocation.getArgument(0);
+            assertNull(palabra.getId());
+            return new Palabra(10, palabra.getTermino(), palabra.getCategoriaGramatical());
+        });
+
+        UpsertPalabraDTO resultado = palabraService.upsertPalabra(new Palabra(7, "casa", "sustantivo"));
+
+        assertTrue(resultado.isCreada());
+        assertEquals(10, resultado.getPalabra().getId());
+        verify(estadisticasService).registrarPalabraCreada(resultado.getPalabra());
+    }
+
+    @Test
+    void upsertPalabraQuePierdeLaInsercionActualizaLaDelOtroEscritor() {
+        when(palabraRepository.findByTermino("casa")).thenReturn(
+                Optional.empty(),
+                Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(palabraRepository.save(any(Palabra.class))).thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+        when(palabraRepository.existsByTermino("casa")).thenReturn(true);
+        when(palabraRepository.updateSiNoHaCambiado(1L, "casa", "verbo", "casa", "sustantivo")).thenReturn(1);
+
+        UpsertPalabraDTO resultado = palabraService.upsertPalabra(new Palabra(null, "casa", "verbo"));
+
+        assertFalse(resultado.isCreada());
+        verify(estadisticasService, never()).registrarPalabraCreada(any());
+        verify(estadisticasService).registrarPalabraActualizada(eq("casa"), eq("sustantivo"), any(Palabra.class));
+    }
+
+    @Test
+    void upsertPalabraReintentaLaActualizacionCondicionadaHastaElMaximo() {
+        when(palabraRepository.findByTermino("casa")).thenReturn(Optional.of(new Palabra(1, "casa", "sustantivo")));
+        when(palabraRepository.updateSiNoHaCambiado(anyLong(), anyString(), anyString(), anyString(), anyString())).thenReturn(0);
+
+        assertThrows(ConcurrencyFailureException.class,
+                () -> palabraService.upsertPalabra(new Palabra(null, "casa", "verbo")));
+
+        verify(palabraRepository, times(PalabraService.MAX_INTENTOS)).findByTermino("casa");
+        verify(estadisticasService, never()).registrarPalabraActualizada(any(), any(), any());
+    }
+
+    @Test
+    void upsertPalabraValidaLaCategoria() {
+        assertThrows(IllegalArgumentException.class,
+                () -> palabraService.upsertPalabra(new Palabra(null, "casa", null)));
+
+        verifyNoInteractions(palabraRepository);
+    }
+
+    @Test
+    void deletePalabraRegistraLaPalabraEliminada() {
+        Palabra palabra = new Palabra(1, "casa", "sustantivo");
+        when(palabraRepository.findById(1L)).thenReturn(Optional.of(palabra));
+
+        palabraService.deletePalabra(1L);
+
+        verify(palabraRepository).delete(palabra);
+        verify(estadisticasService).registrarPalabraEliminada(palabra);
+    }
+}